@@ -0,0 +1,74 @@
+package com.github.nozyx12.jalog.bench;
+
+import com.github.nozyx12.jalog.LogLevel;
+import com.github.nozyx12.jalog.Logger;
+import com.github.nozyx12.jalog.LoggerConfig;
+import com.github.nozyx12.jalog.appender.LogAppender;
+import com.github.nozyx12.jalog.slf4j.JalogSLF4JLogger;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Measures the cost of a log call with the caller location enabled and disabled, through both
+ * the Jalog {@link Logger} and {@link JalogSLF4JLogger}.
+ * <p>
+ * The console output is discarded and lines go to an appender doing nothing, so the numbers only
+ * reflect formatting and the stack walk. Run with
+ * {@code ./gradlew bench -Pbenchmark=CallerLocationBenchmark}.
+ * </p>
+ */
+public class CallerLocationBenchmark {
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int MEASURED_ITERATIONS = 1_000_000;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        LogAppender appender = new LogAppender() {
+            @Override
+            public void append(String loggerName, LogLevel level, String line) {
+                sink += line.length();
+            }
+
+            @Override
+            public void close() {}
+        };
+
+        Logger jalogLogger = new Logger("bench.jalog", appender);
+        LoggerConfig slf4jConfig = new LoggerConfig("bench.slf4j");
+        slf4jConfig.setAppender(appender);
+        JalogSLF4JLogger slf4jLogger = new JalogSLF4JLogger(slf4jConfig);
+
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        double[] results = new double[4];
+        try {
+            for (int i = 0; i < 2; i++) {
+                boolean location = i == 1;
+                jalogLogger.setCallerLocation(location);
+                slf4jLogger.setCallerLocation(location);
+
+                results[i] = measure(() -> jalogLogger.info("benchmark message"));
+                results[2 + i] = measure(() -> slf4jLogger.info("benchmark {}", "message"));
+            }
+        } finally {
+            System.setOut(console);
+        }
+
+        System.out.printf("Jalog Logger, location off: %.1f ns per call%n", results[0]);
+        System.out.printf("Jalog Logger, location on:  %.1f ns per call%n", results[1]);
+        System.out.printf("SLF4J logger, location off: %.1f ns per call%n", results[2]);
+        System.out.printf("SLF4J logger, location on:  %.1f ns per call%n", results[3]);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double measure(Runnable call) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) call.run();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) call.run();
+        return (double) (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    }
+}
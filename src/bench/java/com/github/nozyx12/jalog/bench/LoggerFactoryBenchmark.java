@@ -0,0 +1,51 @@
+package com.github.nozyx12.jalog.bench;
+
+import com.github.nozyx12.jalog.slf4j.JalogLoggerFactory;
+import org.slf4j.Logger;
+
+/**
+ * Measures the startup cost of {@link JalogLoggerFactory}: the time and heap needed to create
+ * 50 000 distinct loggers, then the time needed to look all of them up again.
+ * <p>
+ * Run with {@code ./gradlew bench -Pbenchmark=LoggerFactoryBenchmark}.
+ * </p>
+ */
+public class LoggerFactoryBenchmark {
+    private static final int LOGGER_COUNT = 50_000;
+    private static final int LOOKUP_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        String[] names = new String[LOGGER_COUNT];
+        for (int i = 0; i < LOGGER_COUNT; i++) names[i] = "com.github.nozyx12.bench.generated.Component" + i;
+
+        JalogLoggerFactory factory = new JalogLoggerFactory();
+        Logger[] loggers = new Logger[LOGGER_COUNT];
+
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < LOGGER_COUNT; i++) loggers[i] = factory.getLogger(names[i]);
+        long creationNanos = System.nanoTime() - start;
+        long heapAfter = usedHeap();
+
+        int hits = 0;
+        start = System.nanoTime();
+        for (int round = 0; round < LOOKUP_ROUNDS; round++) {
+            for (int i = 0; i < LOGGER_COUNT; i++) {
+                if (factory.getLogger(names[i]) == loggers[i]) hits++;
+            }
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        System.out.printf("Created %d loggers in %.2f ms%n", LOGGER_COUNT, creationNanos / 1e6);
+        System.out.printf("Retained heap: %.2f MB (%d bytes per logger)%n",
+                (heapAfter - heapBefore) / (1024.0 * 1024.0), (heapAfter - heapBefore) / LOGGER_COUNT);
+        System.out.printf("Looked up %d existing loggers in %.2f ms (%.1f ns per lookup)%n",
+                hits, lookupNanos / 1e6, (double) lookupNanos / hits);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
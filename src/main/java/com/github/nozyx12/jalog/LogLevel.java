@@ -0,0 +1,35 @@
+package com.github.nozyx12.jalog;
+
+/**
+ * The LogLevel enum lists the levels a {@link Logger} writes its lines with.
+ * <p>
+ * The name of each constant is the label printed between brackets in the log line,
+ * for example {@code [WARNING]: ...}.
+ * </p>
+ */
+public enum LogLevel {
+    /**
+     * Informational messages.
+     */
+    INFO,
+
+    /**
+     * Debugging messages.
+     */
+    DEBUG,
+
+    /**
+     * Warning messages.
+     */
+    WARNING,
+
+    /**
+     * Error messages.
+     */
+    ERROR,
+
+    /**
+     * Stack traces printed after an error or alongside a message with a throwable.
+     */
+    STACKTRACE
+}
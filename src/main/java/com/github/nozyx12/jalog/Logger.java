@@ -6,20 +6,25 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
 
+import com.github.nozyx12.jalog.appender.LogAppender;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 
 /**
  * Logger is a simple logging utility that logs messages to both the console
  * and a specified log file. It supports multiple levels of logging such as
  * info, debug, warning, and error, and allows registering listeners for custom behavior.
+ * <p>
+ * A logger is a lightweight view over a {@link LoggerConfig} holding its output, listeners and
+ * caller location settings, which can be shared with other loggers of the same name.
+ * </p>
  */
 public class Logger {
-    private final String name;
-    private final File logFile;
-    private final List<LogListener> listeners = new ArrayList<>();
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final int CALLER_LOCATION_DEPTH = 16;
+
+    private final LoggerConfig config;
 
     /**
      * Creates a logger without log file saving.
@@ -30,7 +35,7 @@ public class Logger {
      * @param name the name of the logger.
      */
     public Logger(String name) {
-        this(name, null);
+        this(name, (File) null);
     }
 
     /**
@@ -40,8 +45,32 @@ public class Logger {
      * @param logFile the file where logs will be written. (Can be null if you don't want to save your logs into a file)
      */
     public Logger(String name, File logFile) {
-        this.name = name;
-        this.logFile = logFile;
+        this.config = new LoggerConfig(name);
+        this.config.setLogFile(logFile);
+    }
+
+    /**
+     * Creates a logger writing its log lines to the given appender instead of a log file.
+     * <p>
+     * The appender is not closed by the logger, so it can be shared between several loggers.
+     * </p>
+     *
+     * @param name the name of the logger.
+     * @param appender the appender receiving the formatted log lines.
+     */
+    public Logger(String name, LogAppender appender) {
+        this.config = new LoggerConfig(name);
+        this.config.setAppender(appender);
+    }
+
+    /**
+     * Creates a logger over an existing config, sharing its output, listeners and settings
+     * with every other logger of that config.
+     *
+     * @param config the config of the logger.
+     */
+    public Logger(LoggerConfig config) {
+        this.config = config;
     }
 
     /**
@@ -50,8 +79,8 @@ public class Logger {
      * @param content the message to log.
      */
     public void info(String content) {
-        for (LogListener listener : listeners) listener.onInfo(content);
-        print("[INFO]: " + content);
+        for (LogListener listener : config.listeners()) listener.onInfo(content);
+        print(LogLevel.INFO, content, null, null);
     }
 
     /**
@@ -60,8 +89,8 @@ public class Logger {
      * @param content the message to log.
      */
     public void debug(String content) {
-        for (LogListener listener : listeners) listener.onDebug(content);
-        print("[DEBUG]: " + content);
+        for (LogListener listener : config.listeners()) listener.onDebug(content);
+        print(LogLevel.DEBUG, content, null, null);
     }
 
     /**
@@ -70,8 +99,8 @@ public class Logger {
      * @param content the message to log.
      */
     public void warning(String content) {
-        for (LogListener listener : listeners) listener.onWarning(content);
-        print("[WARNING]: " + content);
+        for (LogListener listener : config.listeners()) listener.onWarning(content);
+        print(LogLevel.WARNING, content, null, null);
     }
 
     /**
@@ -81,9 +110,8 @@ public class Logger {
      * @param cause the exception that caused the error.
      */
     public void error(String content, Throwable cause) {
-        for (LogListener listener : listeners) listener.onError(content, cause);
-        print("[ERROR]: " + content);
-        stacktrace(cause);
+        for (LogListener listener : config.listeners()) listener.onError(content, cause);
+        print(LogLevel.ERROR, content, cause, null);
     }
 
     /**
@@ -92,7 +120,7 @@ public class Logger {
      * @param cause the throwable whose stack trace will be logged.
      */
     public void stacktrace(Throwable cause) {
-        print("[STACKTRACE]:\n" + ExceptionUtils.getStackTrace(cause));
+        print(LogLevel.STACKTRACE, ExceptionUtils.getStackTrace(cause), null, null);
     }
 
     /**
@@ -101,28 +129,100 @@ public class Logger {
      * @param content the message to log.
      */
     public void error(String content) {
-        for (LogListener listener : listeners) listener.onError(content);
-        print("[ERROR]: " + content);
+        for (LogListener listener : config.listeners()) listener.onError(content);
+        print(LogLevel.ERROR, content, null, null);
+    }
+
+    /**
+     * Logs a message at the given level on behalf of a class wrapping this logger, such as an
+     * SLF4J logger, and notifies registered listeners.
+     * <p>
+     * When the caller location is enabled, the location logged is the frame that called the last
+     * frame of {@code callerBoundary}, so the wrapping class and everything below it are skipped.
+     * </p>
+     *
+     * @param level the level of the message. ({@link LogLevel#STACKTRACE} is not accepted)
+     * @param content the message to log.
+     * @param cause the exception whose stack trace is logged after the message. (Can be null)
+     * @param callerBoundary the fully qualified name of the wrapping class. (Can be null)
+     */
+    public void log(LogLevel level, String content, Throwable cause, String callerBoundary) {
+        switch (level) {
+            case INFO:
+                for (LogListener listener : config.listeners()) listener.onInfo(content);
+                break;
+            case DEBUG:
+                for (LogListener listener : config.listeners()) listener.onDebug(content);
+                break;
+            case WARNING:
+                for (LogListener listener : config.listeners()) listener.onWarning(content);
+                break;
+            case ERROR:
+                for (LogListener listener : config.listeners()) {
+                    if (cause != null) listener.onError(content, cause);
+                    else listener.onError(content);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("A message cannot be logged at level " + level);
+        }
+
+        print(level, content, cause, callerBoundary);
     }
 
     /**
-     * Prints the message to both the console and the log file, ensuring
-     * that all necessary parent directories are created for the log file.
+     * Prints the message, followed by the stack trace of its cause if any, to the console and to
+     * either the appender or the log file, ensuring that all necessary parent directories are
+     * created for the log file. The message and the stack trace reach the appender in one call.
      * (Internal Logger Method)
      *
+     * @param level the level of the message.
      * @param content the message to log.
+     * @param cause the exception whose stack trace is logged after the message. (Can be null)
+     * @param callerBoundary the class whose caller is the caller location. (Can be null)
      */
-    private void print(String content) {
+    private void print(LogLevel level, String content, Throwable cause, String callerBoundary) {
+        String name = config.getName();
         LocalDateTime now = LocalDateTime.now();
+        String formattedDateTime = now.format(DATE_TIME_FORMATTER);
+
+        String toPrint = "[" + formattedDateTime + "] [" + name + "] [" + level + "]";
+        if (config.isCallerLocation() && level != LogLevel.STACKTRACE) toPrint += " [" + findCallerLocation(callerBoundary) + "]";
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        String formattedDateTime = now.format(formatter);
+        // Stack traces start on the line following their header.
+        toPrint += (level == LogLevel.STACKTRACE ? ":\n" : ": ") + content;
 
-        String toPrint = "[" + formattedDateTime + "] [" + this.name + "] " + content;
+        String stackTraceLine = null;
+        if (cause != null) {
+            stackTraceLine = "[" + formattedDateTime + "] [" + name + "] [" + LogLevel.STACKTRACE + "]:\n" + ExceptionUtils.getStackTrace(cause);
+        }
 
         System.out.println(toPrint);
+        if (stackTraceLine != null) System.out.println(stackTraceLine);
+
+        LoggerConfig output = config.output();
+        if (output == null) return;
+
+        LogAppender appender = output.getAppender();
+        if (appender != null) {
+            try {
+                appender.append(name, level, toPrint, stackTraceLine);
+            } catch (Exception e) {
+                System.out.println("Jalog Logger Error: Could not append to the appender for the logger named '" + name + "'");
+
+                StringWriter sw = new StringWriter();
+                PrintWriter pw = new PrintWriter(sw);
+                e.printStackTrace(pw);
+
+                int lastNewLineIndex = sw.toString().lastIndexOf("\n");
+                String stackTrace = sw.toString().substring(0, lastNewLineIndex);
+
+                System.out.println("Error info: " + stackTrace);
+            }
+            return;
+        }
 
-        if (logFile == null) return;
+        File logFile = output.getLogFile();
 
         if (!logFile.exists() || !logFile.isFile()) {
             try {
@@ -144,6 +244,7 @@ public class Logger {
 
         try (FileWriter writer = new FileWriter(logFile, true)) {
             writer.write(toPrint + System.lineSeparator());
+            if (stackTraceLine != null) writer.write(stackTraceLine + System.lineSeparator());
         } catch (Exception e) {
             System.out.println("Jalog Logger Error: Could not write to log file for the logger named '" + name + "'");
 
@@ -158,13 +259,74 @@ public class Logger {
         }
     }
 
+    /**
+     * Finds the frame calling the logger, looking at most {@value #CALLER_LOCATION_DEPTH} frames deep.
+     * It is the first frame after the frames of {@code callerBoundary} that belongs neither to this class
+     * nor to a declared caller boundary. If {@code callerBoundary} is not on the stack, the search starts
+     * from the top of the stack instead.
+     * (Internal Logger Method)
+     *
+     * @param callerBoundary the class whose caller is looked for. (Can be null)
+     * @return the caller location, formatted as {@code class.method:line}, or "?" if not found.
+     */
+    private String findCallerLocation(String callerBoundary) {
+        String location = STACK_WALKER.walk(frames -> frames
+                .limit(CALLER_LOCATION_DEPTH)
+                .dropWhile(frame -> callerBoundary != null && !frame.getClassName().equals(callerBoundary))
+                .filter(frame -> !isLoggingFrame(frame.getClassName(), callerBoundary))
+                .findFirst()
+                .map(frame -> frame.getClassName() + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse(null));
+
+        if (location == null && callerBoundary != null) return findCallerLocation(null);
+        return location == null ? "?" : location;
+    }
+
+    private boolean isLoggingFrame(String className, String callerBoundary) {
+        return className.equals(Logger.class.getName()) || className.equals(callerBoundary) || config.isCallerBoundary(className);
+    }
+
+    /**
+     * Enables or disables the caller location in the log lines of this logger.
+     * <p>
+     * When enabled, each line (except stack traces) includes the class, method and line number
+     * that called the logger in the header, as in {@code [INFO] [com.example.Foo.bar:42]: message},
+     * where {@link com.github.nozyx12.jalog.reader.LogRecord#getCallerLocation()} reads it back.
+     * The stack is only walked when this is enabled, so it costs nothing otherwise.
+     * </p>
+     *
+     * @param callerLocation whether the caller location should be logged.
+     */
+    public void setCallerLocation(boolean callerLocation) {
+        config.setCallerLocation(callerLocation);
+    }
+
+    /**
+     * Returns whether the caller location is included in the log lines of this logger.
+     *
+     * @return true if the caller location is logged.
+     */
+    public boolean isCallerLocation() {
+        return config.isCallerLocation();
+    }
+
+    /**
+     * Declares a class wrapping this logger, whose frames are skipped when looking for the
+     * caller location. Frames of this class are always skipped.
+     *
+     * @param className the fully qualified name of the wrapping class.
+     */
+    public void addCallerBoundary(String className) {
+        config.addCallerBoundary(className);
+    }
+
     /**
      * Registers a new log listener to be notified when logs are generated.
      *
      * @param listener the log listener to register.
      */
     public void registerListener(LogListener listener) {
-        this.listeners.add(listener);
+        config.registerListener(listener);
     }
 
     /**
@@ -177,6 +339,15 @@ public class Logger {
      * @return the name of the logger, typically used to identify the logger.
      */
     public String getName() {
-        return this.name;
+        return config.getName();
+    }
+
+    /**
+     * Returns the config this logger is a view of.
+     *
+     * @return the config of the logger.
+     */
+    public LoggerConfig getConfig() {
+        return this.config;
     }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.github.nozyx12.jalog;
+
+import com.github.nozyx12.jalog.appender.LogAppender;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * LoggerConfig holds the state shared by every {@link Logger} of a given name: its output,
+ * its listeners and its caller location settings.
+ * <p>
+ * A {@link Logger} is a lightweight view over a config, so several loggers (for example a Jalog
+ * logger and an SLF4J logger) can share the same config. A config can also have a parent: when it
+ * has no output or caller location setting of its own, those of its parent are used. This lets the
+ * SLF4J logger factory give all its loggers a common output through a single root config.
+ * </p>
+ */
+public final class LoggerConfig {
+    private static final LogListener[] NO_LISTENERS = new LogListener[0];
+    private static final String[] NO_CALLER_BOUNDARIES = new String[0];
+
+    private final String name;
+    private final LoggerConfig parent;
+    private volatile LogAppender appender;
+    private volatile File logFile;
+    private volatile Boolean callerLocation;
+    private volatile LogListener[] listeners = NO_LISTENERS;
+    private volatile String[] callerBoundaries = NO_CALLER_BOUNDARIES;
+
+    /**
+     * Creates a config without parent, logging to the console only until an output is set.
+     *
+     * @param name the name of the loggers using this config.
+     */
+    public LoggerConfig(String name) {
+        this(name, null);
+    }
+
+    /**
+     * Creates a config inheriting the output and caller location settings of a parent.
+     *
+     * @param name the name of the loggers using this config.
+     * @param parent the config whose settings are used when this one has none. (Can be null)
+     */
+    public LoggerConfig(String name, LoggerConfig parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the name of the loggers using this config.
+     *
+     * @return the name of the config.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Returns the parent of this config.
+     *
+     * @return the parent config, or null if this config has none.
+     */
+    public LoggerConfig getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Sets the appender receiving the log lines of this config. It takes precedence over the log file.
+     * <p>
+     * The appender is not closed by the config, so it can be shared between several configs.
+     * </p>
+     *
+     * @param appender the appender, or null to use the log file or the output of the parent.
+     */
+    public void setAppender(LogAppender appender) {
+        this.appender = appender;
+    }
+
+    /**
+     * Returns the appender set on this config, ignoring its parent.
+     *
+     * @return the appender of this config, or null if none is set.
+     */
+    public LogAppender getAppender() {
+        return this.appender;
+    }
+
+    /**
+     * Sets the file the log lines of this config are written to when no appender is set.
+     *
+     * @param logFile the log file, or null to use the output of the parent.
+     */
+    public void setLogFile(File logFile) {
+        this.logFile = logFile;
+    }
+
+    /**
+     * Returns the log file set on this config, ignoring its parent.
+     *
+     * @return the log file of this config, or null if none is set.
+     */
+    public File getLogFile() {
+        return this.logFile;
+    }
+
+    /**
+     * Enables or disables the caller location in the log lines of this config.
+     *
+     * @param callerLocation whether the caller location should be logged.
+     * @see Logger#setCallerLocation(boolean)
+     */
+    public void setCallerLocation(boolean callerLocation) {
+        this.callerLocation = callerLocation;
+    }
+
+    /**
+     * Returns whether the caller location is logged, using the setting of the parent if this
+     * config has none.
+     *
+     * @return true if the caller location is logged.
+     */
+    public boolean isCallerLocation() {
+        Boolean own = this.callerLocation;
+        if (own != null) return own;
+        return parent != null && parent.isCallerLocation();
+    }
+
+    /**
+     * Declares a class wrapping the loggers of this config, whose frames are skipped when looking
+     * for the caller location. Boundaries declared on a parent apply to this config too.
+     *
+     * @param className the fully qualified name of the wrapping class.
+     */
+    public synchronized void addCallerBoundary(String className) {
+        if (isCallerBoundary(className)) return;
+
+        String[] boundaries = Arrays.copyOf(callerBoundaries, callerBoundaries.length + 1);
+        boundaries[boundaries.length - 1] = className;
+        this.callerBoundaries = boundaries;
+    }
+
+    /**
+     * Registers a new log listener to be notified when the loggers of this config generate logs.
+     *
+     * @param listener the log listener to register.
+     */
+    public synchronized void registerListener(LogListener listener) {
+        LogListener[] registered = Arrays.copyOf(listeners, listeners.length + 1);
+        registered[registered.length - 1] = listener;
+        this.listeners = registered;
+    }
+
+    LogListener[] listeners() {
+        return this.listeners;
+    }
+
+    boolean isCallerBoundary(String className) {
+        for (LoggerConfig config = this; config != null; config = config.parent) {
+            for (String boundary : config.callerBoundaries) {
+                if (className.equals(boundary)) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the closest config, starting from this one, that has an appender or a log file.
+     *
+     * @return the config defining the output, or null if the output is the console only.
+     */
+    LoggerConfig output() {
+        for (LoggerConfig config = this; config != null; config = config.parent) {
+            if (config.appender != null || config.logFile != null) return config;
+        }
+        return null;
+    }
+}
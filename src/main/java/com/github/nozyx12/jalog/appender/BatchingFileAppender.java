@@ -0,0 +1,409 @@
+package com.github.nozyx12.jalog.appender;
+
+import com.github.nozyx12.jalog.LogLevel;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BatchingFileAppender is a {@link LogAppender} that gathers log lines in per-thread buffers
+ * and writes them to the log file in groups.
+ * <p>
+ * Each producing thread encodes its lines into its own buffer. A background flusher merges
+ * the buffers of every thread and writes them with a single gathering
+ * {@link FileChannel#write(ByteBuffer[])} whenever the flush interval elapses or the pending
+ * bytes reach the flush size, whichever comes first.
+ * </p>
+ * <p>
+ * Lines logged with {@link LogLevel#ERROR} or {@link LogLevel#STACKTRACE} are committed and
+ * forced to the storage device before {@link #append(String, LogLevel, String)} returns, together with
+ * everything buffered before them. An error and the stack trace of its cause, appended together
+ * through {@link #append(String, LogLevel, String, String)}, are forced only once.
+ * </p>
+ */
+public class BatchingFileAppender implements LogAppender {
+    /**
+     * The default delay between two commits, in milliseconds.
+     */
+    public static final long DEFAULT_FLUSH_INTERVAL = 200;
+
+    /**
+     * The default number of pending bytes that triggers a commit before the interval elapses.
+     */
+    public static final int DEFAULT_FLUSH_SIZE = 256 * 1024;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Defines the order in which the lines of different threads are written by a commit.
+     */
+    public enum Ordering {
+        /**
+         * Lines of all threads are interleaved by the time they were appended.
+         */
+        TIMESTAMP,
+
+        /**
+         * Lines of each thread are written contiguously, in the order that thread appended them.
+         * This avoids the merge step, but lines of different threads are not interleaved.
+         */
+        THREAD
+    }
+
+    private final FileChannel channel;
+    private final long flushInterval;
+    private final int flushSize;
+    private final Ordering ordering;
+
+    private final List<ThreadBuffer> buffers = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<ThreadBuffer> localBuffer = ThreadLocal.withInitial(this::registerBuffer);
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicInteger activeAppends = new AtomicInteger();
+    private final Object commitLock = new Object();
+    private final Object flusherSignal = new Object();
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * Creates an appender for the given file using the default interval, size and
+     * {@link Ordering#TIMESTAMP} ordering.
+     *
+     * @param logFile the file to append to. It is created along with its parent directories if needed.
+     * @throws IOException if the file could not be opened.
+     */
+    public BatchingFileAppender(File logFile) throws IOException {
+        this(logFile, DEFAULT_FLUSH_INTERVAL, DEFAULT_FLUSH_SIZE, Ordering.TIMESTAMP);
+    }
+
+    /**
+     * Creates an appender for the given file.
+     *
+     * @param logFile the file to append to. It is created along with its parent directories if needed.
+     * @param flushInterval the maximum delay between two commits, in milliseconds.
+     * @param flushSize the number of pending bytes that triggers a commit before the interval elapses.
+     * @param ordering the order in which the lines of different threads are written.
+     * @throws IOException if the file could not be opened.
+     */
+    public BatchingFileAppender(File logFile, long flushInterval, int flushSize, Ordering ordering) throws IOException {
+        if (flushInterval <= 0) throw new IllegalArgumentException("flushInterval must be positive");
+        if (flushSize <= 0) throw new IllegalArgumentException("flushSize must be positive");
+
+        this.flushInterval = flushInterval;
+        this.flushSize = flushSize;
+        this.ordering = ordering;
+
+        logFile.getAbsoluteFile().getParentFile().mkdirs();
+        this.channel = FileChannel.open(logFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        this.flusher = new Thread(this::runFlusher, "Jalog Batching Flusher (" + logFile.getName() + ")");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Buffers a line in the calling thread's buffer. Error and stack trace lines are committed
+     * immediately along with every line buffered before them.
+     *
+     * @param loggerName the name of the logger the line was logged with.
+     * @param level the level the line was logged with.
+     * @param line the formatted log line, without a trailing line separator.
+     * @throws IOException if the appender is closed or an immediate commit failed.
+     */
+    @Override
+    public void append(String loggerName, LogLevel level, String line) throws IOException {
+        append(loggerName, level, line, null);
+    }
+
+    /**
+     * Buffers a line and the stack trace line following it in the calling thread's buffer, then
+     * commits them with a single force along with every line buffered before them.
+     *
+     * @param loggerName the name of the logger the lines were logged with.
+     * @param level the level the first line was logged with.
+     * @param line the formatted log line, without a trailing line separator.
+     * @param stackTrace the formatted stack trace line, without a trailing line separator. (Can be null)
+     * @throws IOException if the appender is closed or an immediate commit failed.
+     */
+    @Override
+    public void append(String loggerName, LogLevel level, String line, String stackTrace) throws IOException {
+        byte[] content = line.getBytes(StandardCharsets.UTF_8);
+        byte[] trace = stackTrace != null ? stackTrace.getBytes(StandardCharsets.UTF_8) : null;
+        int length = content.length + LINE_SEPARATOR.length + (trace != null ? trace.length + LINE_SEPARATOR.length : 0);
+
+        // close() waits for the appends it did not reject before draining the buffers a last time.
+        activeAppends.incrementAndGet();
+        try {
+            if (closed) throw new ClosedChannelException();
+            localBuffer.get().add(System.nanoTime(), content, trace);
+        } finally {
+            activeAppends.decrementAndGet();
+        }
+
+        long pending = pendingBytes.addAndGet(length);
+
+        if (level == LogLevel.ERROR || level == LogLevel.STACKTRACE || trace != null) {
+            try {
+                commit(true);
+            } catch (ClosedChannelException e) {
+                // The line was buffered before close() started, so its final commit wrote it.
+                if (!closed) throw e;
+            }
+        } else if (pending >= flushSize && pending - length < flushSize) {
+            synchronized (flusherSignal) {
+                flusherSignal.notify();
+            }
+        }
+    }
+
+    /**
+     * Writes every buffered line to the log file.
+     *
+     * @throws IOException if the buffered lines could not be written.
+     */
+    public void flush() throws IOException {
+        commit(false);
+    }
+
+    /**
+     * Stops the flusher, commits the remaining lines and closes the log file.
+     *
+     * @throws IOException if the remaining lines could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (commitLock) {
+            if (closed) return;
+            closed = true;
+        }
+
+        while (activeAppends.get() > 0) Thread.yield();
+
+        synchronized (flusherSignal) {
+            flusherSignal.notify();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            commit(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Drains the buffer of every thread and writes their content with a single gathering write.
+     * (Internal Appender Method)
+     *
+     * @param force whether the file should also be forced to the storage device.
+     * @throws IOException if the lines could not be written.
+     */
+    private void commit(boolean force) throws IOException {
+        synchronized (commitLock) {
+            if (!channel.isOpen()) throw new ClosedChannelException();
+
+            List<Batch> batches = new ArrayList<>(buffers.size());
+            for (ThreadBuffer buffer : buffers) {
+                Batch batch = buffer.drain();
+                if (batch.count > 0) batches.add(batch);
+                else buffer.recycle(batch);
+
+                if (batch.count == 0 && !buffer.owner.isAlive()) buffers.remove(buffer);
+            }
+
+            if (batches.isEmpty()) {
+                if (force) channel.force(false);
+                return;
+            }
+
+            ByteBuffer[] sources = ordering == Ordering.TIMESTAMP ? mergeByTimestamp(batches) : concatenate(batches);
+
+            try {
+                int first = 0;
+                while (first < sources.length) {
+                    channel.write(sources, first, sources.length - first);
+                    while (first < sources.length && !sources[first].hasRemaining()) first++;
+                }
+                if (force) channel.force(false);
+            } finally {
+                pendingBytes.addAndGet(-totalBytes(batches));
+                for (Batch batch : batches) batch.source.recycle(batch);
+            }
+        }
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            synchronized (flusherSignal) {
+                try {
+                    if (pendingBytes.get() < flushSize) flusherSignal.wait(flushInterval);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            if (closed) return;
+
+            try {
+                commit(false);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (Exception e) {
+                System.out.println("Jalog Logger Error: Could not commit buffered log lines");
+                System.out.println("Error info: " + ExceptionUtils.getStackTrace(e).trim());
+            }
+        }
+    }
+
+    private ThreadBuffer registerBuffer() {
+        ThreadBuffer buffer = new ThreadBuffer(Thread.currentThread());
+        buffers.add(buffer);
+        return buffer;
+    }
+
+    /**
+     * Returns one buffer per thread, each wrapping the whole content of its batch.
+     */
+    private static ByteBuffer[] concatenate(List<Batch> batches) {
+        ByteBuffer[] sources = new ByteBuffer[batches.size()];
+        for (int i = 0; i < sources.length; i++) {
+            Batch batch = batches.get(i);
+            sources[i] = ByteBuffer.wrap(batch.data, 0, batch.size);
+        }
+        return sources;
+    }
+
+    /**
+     * Returns buffers wrapping the lines of every batch in timestamp order. Consecutive lines
+     * coming from the same batch are wrapped by a single buffer.
+     */
+    private static ByteBuffer[] mergeByTimestamp(List<Batch> batches) {
+        if (batches.size() == 1) return concatenate(batches);
+
+        int[] cursors = new int[batches.size()];
+        List<ByteBuffer> sources = new ArrayList<>();
+
+        int runBatch = -1;
+        int runStart = 0;
+        int runEnd = 0;
+
+        while (true) {
+            int next = -1;
+            long oldest = Long.MAX_VALUE;
+            for (int i = 0; i < cursors.length; i++) {
+                Batch batch = batches.get(i);
+                if (cursors[i] < batch.count && (next == -1 || batch.stamps[cursors[i]] - oldest < 0)) {
+                    next = i;
+                    oldest = batch.stamps[cursors[i]];
+                }
+            }
+
+            if (next != runBatch && runBatch != -1) {
+                sources.add(ByteBuffer.wrap(batches.get(runBatch).data, runStart, runEnd - runStart));
+            }
+            if (next == -1) break;
+
+            Batch batch = batches.get(next);
+            int line = cursors[next]++;
+            int start = line == 0 ? 0 : batch.ends[line - 1];
+
+            if (next != runBatch) {
+                runBatch = next;
+                runStart = start;
+            }
+            runEnd = batch.ends[line];
+        }
+
+        return sources.toArray(new ByteBuffer[0]);
+    }
+
+    private static long totalBytes(List<Batch> batches) {
+        long total = 0;
+        for (Batch batch : batches) total += batch.size;
+        return total;
+    }
+
+    /**
+     * The buffer of a single producing thread. The owner appends to the active batch while
+     * the flusher swaps it out for the spare one, so both only hold the lock briefly.
+     */
+    private static final class ThreadBuffer {
+        private final Thread owner;
+        private Batch active = new Batch();
+        private Batch spare = new Batch();
+
+        private ThreadBuffer(Thread owner) {
+            this.owner = owner;
+        }
+
+        private synchronized void add(long stamp, byte[] content, byte[] trace) {
+            active.add(stamp, content);
+            if (trace != null) active.add(stamp, trace);
+        }
+
+        private synchronized Batch drain() {
+            Batch drained = active;
+            active = spare != null ? spare : new Batch();
+            spare = null;
+            drained.source = this;
+            return drained;
+        }
+
+        private synchronized void recycle(Batch batch) {
+            batch.clear();
+            if (spare == null) spare = batch;
+        }
+    }
+
+    /**
+     * Encoded lines of one thread, stored back to back with their end offsets and timestamps.
+     */
+    private static final class Batch {
+        private ThreadBuffer source;
+        private byte[] data = new byte[1024];
+        private int size;
+        private long[] stamps = new long[16];
+        private int[] ends = new int[16];
+        private int count;
+
+        private void add(long stamp, byte[] content) {
+            int length = content.length + LINE_SEPARATOR.length;
+
+            if (size + length > data.length) data = Arrays.copyOf(data, Math.max(data.length * 2, size + length));
+            if (count == ends.length) {
+                stamps = Arrays.copyOf(stamps, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+
+            System.arraycopy(content, 0, data, size, content.length);
+            System.arraycopy(LINE_SEPARATOR, 0, data, size + content.length, LINE_SEPARATOR.length);
+            size += length;
+
+            stamps[count] = stamp;
+            ends[count] = size;
+            count++;
+        }
+
+        private void clear() {
+            source = null;
+            size = 0;
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.github.nozyx12.jalog.appender;
+
+import com.github.nozyx12.jalog.LogLevel;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The LogAppender interface defines a destination for formatted log lines.
+ * <p>
+ * An appender can be given to a {@link com.github.nozyx12.jalog.Logger} to replace its default
+ * file output. The logger does not own the appender: the same appender can be shared between
+ * several loggers, and it must be closed by the code that created it.
+ * </p>
+ */
+public interface LogAppender extends Closeable {
+    /**
+     * Appends a formatted log line. The line separator is added by the appender.
+     *
+     * @param loggerName the name of the logger the line was logged with.
+     * @param level the level the line was logged with.
+     * @param line the formatted log line, without a trailing line separator.
+     * @throws IOException if the line could not be written.
+     */
+    void append(String loggerName, LogLevel level, String line) throws IOException;
+
+    /**
+     * Appends a formatted log line followed by the {@link LogLevel#STACKTRACE} line of its cause,
+     * as one logging event. By default, the two lines are appended one after the other; appenders
+     * doing costly work per line, such as forcing the file, can override it to do that work once.
+     *
+     * @param loggerName the name of the logger the lines were logged with.
+     * @param level the level the first line was logged with.
+     * @param line the formatted log line, without a trailing line separator.
+     * @param stackTrace the formatted stack trace line, without a trailing line separator. (Can be null)
+     * @throws IOException if the lines could not be written.
+     */
+    default void append(String loggerName, LogLevel level, String line, String stackTrace) throws IOException {
+        append(loggerName, level, line);
+        if (stackTrace != null) append(loggerName, LogLevel.STACKTRACE, stackTrace);
+    }
+}
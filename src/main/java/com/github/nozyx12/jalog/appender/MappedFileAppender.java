@@ -0,0 +1,242 @@
+package com.github.nozyx12.jalog.appender;
+
+import com.github.nozyx12.jalog.LogLevel;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MappedFileAppender is a {@link LogAppender} that writes log lines into a memory-mapped
+ * region of the log file instead of issuing a write call for each line.
+ * <p>
+ * The file is mapped one region at a time. Producers claim space in the current region
+ * with a compare-and-set on its write offset, so several threads can copy their lines
+ * into the mapping at the same time without taking a lock. When a line does not fit in
+ * the remaining space, the region is sealed and the file is remapped starting right after
+ * the last claimed byte.
+ * </p>
+ * <p>
+ * Mapping a region grows the file to the end of that region and fills the unused part with NUL
+ * bytes, so {@link #close()} truncates the unused tail. It should only be called once producers
+ * have stopped appending. The truncation is best-effort: some systems, such as Windows, refuse to
+ * truncate a file while parts of it are still mapped, in which case the NUL tail is left in place. If the process dies before closing the appender, the NUL tail stays
+ * in the file; the next appender opened on it skips back over that tail and continues right
+ * after the last line written.
+ * </p>
+ * <p>
+ * While the appender is open, the size of the file is the end of the mapped region and not the
+ * end of the written lines, and lines are written into bytes that already exist. A reader
+ * following the file must therefore stop at the first NUL byte and read it again later, as
+ * {@link com.github.nozyx12.jalog.reader.LogFileTailer} does, instead of relying on the file size.
+ * </p>
+ */
+public class MappedFileAppender implements LogAppender {
+    /**
+     * The default size of a mapped region, in bytes.
+     */
+    public static final int DEFAULT_REGION_SIZE = 4 * 1024 * 1024;
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final int SCAN_BLOCK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final int regionSize;
+    private final Object remapLock = new Object();
+    private volatile Region region;
+    private volatile boolean closed;
+
+    /**
+     * Creates an appender for the given file using {@link #DEFAULT_REGION_SIZE}.
+     *
+     * @param logFile the file to append to. It is created along with its parent directories if needed.
+     * @throws IOException if the file could not be opened or mapped.
+     */
+    public MappedFileAppender(File logFile) throws IOException {
+        this(logFile, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Creates an appender for the given file with a custom region size.
+     *
+     * @param logFile the file to append to. It is created along with its parent directories if needed.
+     * @param regionSize the number of bytes mapped at once.
+     * @throws IOException if the file could not be opened or mapped.
+     */
+    public MappedFileAppender(File logFile, int regionSize) throws IOException {
+        if (regionSize <= 0) throw new IllegalArgumentException("regionSize must be positive");
+
+        this.regionSize = regionSize;
+
+        logFile.getAbsoluteFile().getParentFile().mkdirs();
+        this.channel = FileChannel.open(logFile.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long end = writtenEnd();
+        if (end < channel.size()) channel.truncate(end);
+        this.region = map(end, regionSize);
+    }
+
+    /**
+     * Appends a line to the mapped region, remapping the file when the region is full.
+     *
+     * @param loggerName the name of the logger the line was logged with.
+     * @param level the level the line was logged with.
+     * @param line the formatted log line, without a trailing line separator.
+     * @throws IOException if the appender is closed or the next region could not be mapped.
+     */
+    @Override
+    public void append(String loggerName, LogLevel level, String line) throws IOException {
+        byte[] content = line.getBytes(StandardCharsets.UTF_8);
+        int length = content.length + LINE_SEPARATOR.length;
+
+        while (true) {
+            if (closed) throw new ClosedChannelException();
+
+            Region current = this.region;
+            int offset = current.claim(length);
+
+            if (offset >= 0) {
+                current.write(offset, content);
+                current.write(offset + content.length, LINE_SEPARATOR);
+                return;
+            }
+
+            remap(current, length);
+        }
+    }
+
+    /**
+     * Seals the current region, flushes it and truncates the unused tail of the file.
+     * A failed truncation is reported but not thrown, since every line has already been flushed.
+     *
+     * @throws IOException if the file could not be flushed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (remapLock) {
+            if (closed) return;
+            closed = true;
+
+            Region last = this.region;
+            int used = last.seal();
+
+            try {
+                last.buffer.force();
+
+                try {
+                    channel.truncate(last.position + used);
+                } catch (IOException e) {
+                    // The next appender opened on the file skips the NUL tail left here.
+                    System.out.println("Jalog Logger Error: Could not truncate the unused tail of the mapped log file");
+                    System.out.println("Error info: " + ExceptionUtils.getStackTrace(e).trim());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Replaces a full region with a new one starting right after its last claimed byte.
+     * Only the first thread noticing the full region does the remapping; the others retry
+     * on the region it installed.
+     * (Internal Appender Method)
+     *
+     * @param full the region that could not fit the line.
+     * @param needed the number of bytes the caller needs to claim.
+     * @throws IOException if the next region could not be mapped.
+     */
+    private void remap(Region full, int needed) throws IOException {
+        synchronized (remapLock) {
+            if (closed || this.region != full) return;
+
+            int used = full.seal();
+            this.region = map(full.position + used, Math.max(regionSize, needed));
+        }
+    }
+
+    /**
+     * Returns the position following the last non-NUL byte of the file, skipping the unused
+     * tail of a region left by an appender that was not closed.
+     * (Internal Appender Method)
+     *
+     * @return the position the next line should be written at.
+     * @throws IOException if the file could not be read.
+     */
+    private long writtenEnd() throws IOException {
+        long end = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+
+        while (end > 0) {
+            long start = Math.max(0, end - SCAN_BLOCK_SIZE);
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) < 0) break;
+            }
+
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) != 0) return start + i + 1;
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    private Region map(long position, int size) throws IOException {
+        return new Region(position, channel.map(FileChannel.MapMode.READ_WRITE, position, size));
+    }
+
+    /**
+     * A mapped window of the log file with its own atomic write offset.
+     */
+    private static final class Region {
+        private static final int SEALED = -1;
+
+        private final long position;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private final AtomicInteger offset = new AtomicInteger();
+
+        private Region(long position, MappedByteBuffer buffer) {
+            this.position = position;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+        }
+
+        /**
+         * Claims {@code length} bytes of the region.
+         *
+         * @return the offset of the claimed bytes, or -1 if the region is sealed or too full.
+         */
+        private int claim(int length) {
+            while (true) {
+                int current = offset.get();
+                if (current == SEALED || (long) current + length > capacity) return -1;
+                if (offset.compareAndSet(current, current + length)) return current;
+            }
+        }
+
+        /**
+         * Prevents any further claim on this region.
+         *
+         * @return the number of bytes claimed before sealing.
+         */
+        private int seal() {
+            return offset.getAndSet(SEALED);
+        }
+
+        private void write(int at, byte[] bytes) {
+            ByteBuffer target = buffer.duplicate();
+            target.position(at);
+            target.put(bytes);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.github.nozyx12.jalog.appender;
+
+import com.github.nozyx12.jalog.LogLevel;
+import org.slf4j.MDC;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RecentEventsAppender is a {@link LogAppender} keeping the most recent log events in memory
+ * so they can be queried while the application is running.
+ * <p>
+ * The text of the events is stored in a fixed-size off-heap ring, and their metadata in fixed-size
+ * arrays. When either is full, the oldest events are evicted first. Every event is also indexed
+ * by level, by logger name and by the keys of the SLF4J MDC (Mapped Diagnostic Context) at the
+ * time it was logged, so a query only visits the events of its most selective criterion instead
+ * of scanning the whole ring.
+ * </p>
+ */
+public class RecentEventsAppender implements LogAppender {
+    /**
+     * The default maximum number of events kept.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /**
+     * The default size of the off-heap text ring, in bytes.
+     */
+    public static final int DEFAULT_TEXT_CAPACITY = 4 * 1024 * 1024;
+
+    private static final Postings[] NO_POSTINGS = new Postings[0];
+
+    private final int capacity;
+    private final ByteBuffer text;
+
+    private final long[] timestamps;
+    private final LogLevel[] levels;
+    private final Postings[] loggerPostings;
+    private final Postings[][] mdcPostings;
+    private final int[] textOffsets;
+    private final int[] textLengths;
+
+    private final Postings[] levelIndex = new Postings[LogLevel.values().length];
+    private final Map<String, Postings> loggerIndex = new HashMap<>();
+    private final Map<String, Postings> mdcIndex = new HashMap<>();
+
+    private long oldestSequence;
+    private long nextSequence;
+    private int textHead;
+    private int textUsed;
+
+    /**
+     * Creates an appender using {@link #DEFAULT_CAPACITY} and {@link #DEFAULT_TEXT_CAPACITY}.
+     */
+    public RecentEventsAppender() {
+        this(DEFAULT_CAPACITY, DEFAULT_TEXT_CAPACITY);
+    }
+
+    /**
+     * Creates an appender with custom bounds.
+     *
+     * @param capacity the maximum number of events kept.
+     * @param textCapacity the size of the off-heap ring holding the text of the events, in bytes.
+     *                     Longer lines are truncated to this size.
+     */
+    public RecentEventsAppender(int capacity, int textCapacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        if (textCapacity <= 0) throw new IllegalArgumentException("textCapacity must be positive");
+
+        this.capacity = capacity;
+        this.text = ByteBuffer.allocateDirect(textCapacity);
+
+        this.timestamps = new long[capacity];
+        this.levels = new LogLevel[capacity];
+        this.loggerPostings = new Postings[capacity];
+        this.mdcPostings = new Postings[capacity][];
+        this.textOffsets = new int[capacity];
+        this.textLengths = new int[capacity];
+
+        for (int i = 0; i < levelIndex.length; i++) levelIndex[i] = new Postings(LogLevel.values()[i].name());
+    }
+
+    /**
+     * Stores the event, evicting the oldest ones if the ring is full.
+     *
+     * @param loggerName the name of the logger the line was logged with.
+     * @param level the level the line was logged with.
+     * @param line the formatted log line, without a trailing line separator.
+     */
+    @Override
+    public void append(String loggerName, LogLevel level, String line) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, text.capacity());
+
+        synchronized (this) {
+            while (nextSequence - oldestSequence >= capacity || text.capacity() - textUsed < length) evictOldest();
+
+            long sequence = nextSequence++;
+            int slot = slot(sequence);
+
+            timestamps[slot] = System.currentTimeMillis();
+            levels[slot] = level;
+            textOffsets[slot] = textHead;
+            textLengths[slot] = length;
+            writeText(bytes, length);
+
+            levelIndex[level.ordinal()].add(sequence);
+
+            Postings logger = loggerIndex.computeIfAbsent(loggerName, Postings::new);
+            logger.add(sequence);
+            loggerPostings[slot] = logger;
+
+            if (mdc == null || mdc.isEmpty()) {
+                mdcPostings[slot] = NO_POSTINGS;
+            } else {
+                Postings[] keys = new Postings[mdc.size()];
+                int i = 0;
+                for (String key : mdc.keySet()) {
+                    Postings postings = mdcIndex.computeIfAbsent(key, Postings::new);
+                    postings.add(sequence);
+                    keys[i++] = postings;
+                }
+                mdcPostings[slot] = keys;
+            }
+        }
+    }
+
+    /**
+     * Returns the stored events matching every given criterion, from the newest to the oldest.
+     * <p>
+     * For example, {@code query(LogLevel.ERROR, "X", null, Duration.ofMinutes(5))} returns the
+     * errors logged by the logger named {@code X} in the last five minutes.
+     * </p>
+     *
+     * @param level the level of the events, or null to match every level.
+     * @param loggerName the name of the logger of the events, or null to match every logger.
+     * @param mdcKey a key the MDC of the events must contain, or null to ignore the MDC.
+     * @param maxAge the maximum age of the events, or null to match events of any age.
+     * @return the matching events, newest first.
+     */
+    public synchronized List<RecentEvent> query(LogLevel level, String loggerName, String mdcKey, Duration maxAge) {
+        Postings levelPostings = level == null ? null : levelIndex[level.ordinal()];
+        Postings logger = loggerName == null ? null : loggerIndex.get(loggerName);
+        Postings mdc = mdcKey == null ? null : mdcIndex.get(mdcKey);
+
+        if ((loggerName != null && logger == null) || (mdcKey != null && mdc == null)) return Collections.emptyList();
+
+        Postings driver = smallest(smallest(levelPostings, logger), mdc);
+        long since = maxAge == null ? Long.MIN_VALUE : System.currentTimeMillis() - maxAge.toMillis();
+        int candidates = driver == null ? (int) (nextSequence - oldestSequence) : driver.size;
+
+        List<RecentEvent> events = new ArrayList<>();
+        for (int i = candidates - 1; i >= 0; i--) {
+            long sequence = driver == null ? oldestSequence + i : driver.get(i);
+            int slot = slot(sequence);
+
+            if (timestamps[slot] < since) break;
+            if (level != null && levels[slot] != level) continue;
+            if (logger != null && loggerPostings[slot] != logger) continue;
+            if (mdc != null && !contains(mdcPostings[slot], mdc)) continue;
+
+            events.add(new RecentEvent(timestamps[slot], levels[slot], loggerPostings[slot].key, readText(slot)));
+        }
+        return events;
+    }
+
+    /**
+     * Returns the number of events currently stored.
+     *
+     * @return the number of stored events.
+     */
+    public synchronized int size() {
+        return (int) (nextSequence - oldestSequence);
+    }
+
+    /**
+     * Drops every stored event. The off-heap ring itself is released once the appender is
+     * garbage collected.
+     */
+    @Override
+    public synchronized void close() {
+        while (nextSequence > oldestSequence) evictOldest();
+    }
+
+    /**
+     * Removes the oldest event from the ring and from the head of every index it belongs to.
+     * (Internal Appender Method)
+     */
+    private void evictOldest() {
+        long sequence = oldestSequence++;
+        int slot = slot(sequence);
+
+        levelIndex[levels[slot].ordinal()].removeFirst();
+        unindex(loggerIndex, loggerPostings[slot]);
+        for (Postings postings : mdcPostings[slot]) unindex(mdcIndex, postings);
+
+        textUsed -= textLengths[slot];
+        levels[slot] = null;
+        loggerPostings[slot] = null;
+        mdcPostings[slot] = null;
+    }
+
+    private static void unindex(Map<String, Postings> index, Postings postings) {
+        postings.removeFirst();
+        if (postings.size == 0) index.remove(postings.key);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    private void writeText(byte[] bytes, int length) {
+        int first = Math.min(length, text.capacity() - textHead);
+
+        ByteBuffer target = text.duplicate();
+        target.position(textHead);
+        target.put(bytes, 0, first);
+        if (first < length) {
+            target.position(0);
+            target.put(bytes, first, length - first);
+        }
+
+        textHead = (textHead + length) % text.capacity();
+        textUsed += length;
+    }
+
+    private String readText(int slot) {
+        int offset = textOffsets[slot];
+        int length = textLengths[slot];
+        int first = Math.min(length, text.capacity() - offset);
+
+        byte[] bytes = new byte[length];
+        ByteBuffer source = text.duplicate();
+        source.position(offset);
+        source.get(bytes, 0, first);
+        if (first < length) {
+            source.position(0);
+            source.get(bytes, first, length - first);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Postings smallest(Postings a, Postings b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.size <= b.size ? a : b;
+    }
+
+    private static boolean contains(Postings[] postings, Postings wanted) {
+        for (Postings candidate : postings) {
+            if (candidate == wanted) return true;
+        }
+        return false;
+    }
+
+    /**
+     * A log event returned by {@link #query(LogLevel, String, String, Duration)}.
+     */
+    public static final class RecentEvent {
+        private final long timestamp;
+        private final LogLevel level;
+        private final String loggerName;
+        private final String line;
+
+        private RecentEvent(long timestamp, LogLevel level, String loggerName, String line) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.loggerName = loggerName;
+            this.line = line;
+        }
+
+        /**
+         * Returns the time the event was appended, in milliseconds since the epoch.
+         *
+         * @return the timestamp of the event.
+         */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Returns the level the event was logged with.
+         *
+         * @return the level of the event.
+         */
+        public LogLevel getLevel() {
+            return level;
+        }
+
+        /**
+         * Returns the name of the logger the event was logged with.
+         *
+         * @return the logger name of the event.
+         */
+        public String getLoggerName() {
+            return loggerName;
+        }
+
+        /**
+         * Returns the formatted log line of the event.
+         *
+         * @return the log line, possibly truncated to the text capacity of the appender.
+         */
+        public String getLine() {
+            return line;
+        }
+    }
+
+    /**
+     * The sequence numbers of the stored events sharing an index key, oldest first.
+     * Since events are evicted in FIFO order, an evicted event is always at the head of its lists.
+     */
+    private static final class Postings {
+        private final String key;
+        private long[] sequences = new long[8];
+        private int head;
+        private int size;
+
+        private Postings(String key) {
+            this.key = key;
+        }
+
+        private void add(long sequence) {
+            if (size == sequences.length) {
+                long[] grown = new long[size * 2];
+                for (int i = 0; i < size; i++) grown[i] = get(i);
+                sequences = grown;
+                head = 0;
+            }
+            sequences[(head + size) % sequences.length] = sequence;
+            size++;
+        }
+
+        private long get(int index) {
+            return sequences[(head + index) % sequences.length];
+        }
+
+        private void removeFirst() {
+            head = (head + 1) % sequences.length;
+            size--;
+        }
+    }
+}
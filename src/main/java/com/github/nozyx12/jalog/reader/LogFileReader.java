@@ -0,0 +1,197 @@
+package com.github.nozyx12.jalog.reader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * LogFileReader reads every record of a Jalog log file.
+ * <p>
+ * The file is memory-mapped and split into chunks that are parsed in parallel. Each chunk boundary
+ * is moved forward to the start of the next record header, so records spanning several lines, such
+ * as stack traces, are never split between two chunks. The NUL bytes a
+ * {@link com.github.nozyx12.jalog.appender.MappedFileAppender} leaves at the end of the file are
+ * not read.
+ * </p>
+ * <p>
+ * Records are handed to a consumer in file order while the following chunks are being parsed.
+ * Only a few chunks per worker thread are in flight at once, so the memory used does not depend
+ * on the size of the file.
+ * </p>
+ */
+public final class LogFileReader {
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;
+    private static final long MAX_CHUNK_SIZE = 16 * 1024 * 1024;
+    private static final int CHUNKS_IN_FLIGHT_PER_THREAD = 2;
+    private static final int BOUNDARY_WINDOW = 64 * 1024;
+
+    private LogFileReader() {}
+
+    /**
+     * Reads every record of the given file into a list, using one thread per available processor.
+     * For large files, prefer {@link #read(Path, Consumer)}, which does not keep every record in memory.
+     *
+     * @param file the log file to read.
+     * @return the records of the file, in file order.
+     * @throws IOException if the file could not be read.
+     */
+    public static List<LogRecord> read(Path file) throws IOException {
+        List<LogRecord> records = new ArrayList<>();
+        read(file, records::add);
+        return records;
+    }
+
+    /**
+     * Hands every record of the given file to a consumer, using one thread per available processor.
+     *
+     * @param file the log file to read.
+     * @param consumer the consumer receiving the records in file order, called from the calling thread.
+     * @throws IOException if the file could not be read.
+     */
+    public static void read(Path file, Consumer<LogRecord> consumer) throws IOException {
+        read(file, Runtime.getRuntime().availableProcessors(), consumer);
+    }
+
+    /**
+     * Hands every record of the given file to a consumer.
+     *
+     * @param file the log file to read.
+     * @param parallelism the number of threads parsing chunks of the file.
+     * @param consumer the consumer receiving the records in file order, called from the calling thread.
+     * @throws IOException if the file could not be read.
+     */
+    public static void read(Path file, int parallelism, Consumer<LogRecord> consumer) throws IOException {
+        if (parallelism <= 0) throw new IllegalArgumentException("parallelism must be positive");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = LogRecordParser.dataEnd(channel);
+            if (size == 0) return;
+
+            long[] boundaries = boundaries(channel, size, parallelism);
+            int chunkCount = boundaries.length - 1;
+
+            if (parallelism == 1 || chunkCount == 1) {
+                try {
+                    for (int i = 0; i < chunkCount; i++) readChunk(channel, boundaries[i], boundaries[i + 1]).forEach(consumer);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                return;
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "Jalog Reader (" + file.getFileName() + ")");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try {
+                Deque<CompletableFuture<List<LogRecord>>> inFlight = new ArrayDeque<>();
+                int next = 0;
+
+                while (next < chunkCount || !inFlight.isEmpty()) {
+                    while (next < chunkCount && inFlight.size() < parallelism * CHUNKS_IN_FLIGHT_PER_THREAD) {
+                        long start = boundaries[next];
+                        long end = boundaries[next + 1];
+                        inFlight.add(CompletableFuture.supplyAsync(() -> readChunk(channel, start, end), executor));
+                        next++;
+                    }
+
+                    inFlight.poll().get().forEach(consumer);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading " + file, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+                throw new IOException("Could not read " + file, e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Splits the file into chunks of similar size, each starting on a record header.
+     * (Internal Reader Method)
+     */
+    private static long[] boundaries(FileChannel channel, long size, int parallelism) throws IOException {
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, (size + parallelism - 1) / parallelism));
+        int count = (int) ((size + chunkSize - 1) / chunkSize);
+
+        List<Long> boundaries = new ArrayList<>(count + 1);
+        boundaries.add(0L);
+        for (int i = 1; i < count; i++) {
+            long boundary = nextRecordStart(channel, Math.max(i * chunkSize, boundaries.get(boundaries.size() - 1)), size);
+            if (boundary > boundaries.get(boundaries.size() - 1) && boundary < size) boundaries.add(boundary);
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) result[i] = boundaries.get(i);
+        return result;
+    }
+
+    /**
+     * Returns the position of the first record header starting on a line at or after {@code from},
+     * or {@code size} if there is none. The scanned window grows until a header is found.
+     */
+    private static long nextRecordStart(FileChannel channel, long from, long size) throws IOException {
+        long window = BOUNDARY_WINDOW;
+
+        while (true) {
+            // Start one byte early so that a line starting exactly at 'from' is recognized.
+            long start = from - 1;
+            int length = (int) Math.min(window, size - start);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+
+            int lineStart = LogRecordParser.nextLine(buffer, 0, length);
+            int header = LogRecordParser.nextHeader(buffer, lineStart, length);
+
+            // A header touching the end of the window may be cut, so it only counts if the window reaches the end.
+            if (header < length && (LogRecordParser.nextLine(buffer, header, length) < length || start + length == size)) {
+                return start + header;
+            }
+            if (start + length == size) return size;
+            if (window >= Integer.MAX_VALUE / 2) throw new IOException("Log record too large to be split at position " + from);
+
+            window *= 2;
+        }
+    }
+
+    private static List<LogRecord> readChunk(FileChannel channel, long start, long end) {
+        if (end - start > Integer.MAX_VALUE) {
+            throw new UncheckedIOException(new IOException("Log record too large to be mapped at position " + start));
+        }
+
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int limit = (int) (end - start);
+        List<LogRecord> records = new ArrayList<>();
+
+        int position = LogRecordParser.nextHeader(buffer, 0, limit);
+        while (position < limit) {
+            int recordEnd = LogRecordParser.recordEnd(buffer, position, limit);
+            records.add(LogRecordParser.parse(buffer, position, recordEnd));
+            position = recordEnd;
+        }
+        return records;
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.nozyx12.jalog.reader;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * LogFileTailer follows a Jalog log file and hands every new record to a consumer.
+ * <p>
+ * The tailer watches the directory of the file with a {@link WatchService} and only reads the bytes
+ * appended since its last read. A record is delivered once the next header is read, or once the file
+ * stops growing, so multi-line records such as stack traces are delivered whole. If the file shrinks,
+ * it is considered rotated and is read again from its start.
+ * </p>
+ * <p>
+ * The file is read in bounded chunks and only the unfinished record is kept between reads, so
+ * following a large file from its start does not load it whole. Reading stops at the first NUL byte,
+ * which lets the tailer follow a file written by a
+ * {@link com.github.nozyx12.jalog.appender.MappedFileAppender}. A run of NUL bytes followed by data
+ * is a line that was claimed but never written, for example by a process killed while logging; it is
+ * skipped once it has not changed for a poll interval.
+ * </p>
+ */
+public class LogFileTailer implements Closeable {
+    /**
+     * The default delay after which the file is checked even if no change was notified, in milliseconds.
+     */
+    public static final long DEFAULT_POLL_INTERVAL = 500;
+
+    private static final int READ_CHUNK_SIZE = 1024 * 1024;
+    private static final int MAX_PENDING_SIZE = 64 * 1024 * 1024;
+
+    private final Path file;
+    private final Consumer<LogRecord> consumer;
+    private final long pollInterval;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private long position;
+    private byte[] pending = new byte[8192];
+    private int pendingSize;
+    private long gapPosition = -1;
+    private long gapSince;
+    private volatile boolean closed;
+
+    /**
+     * Creates a tailer delivering the records appended to the file from now on.
+     *
+     * @param file the log file to follow. It does not need to exist yet.
+     * @param consumer the consumer receiving the records, called from the tailer thread.
+     * @throws IOException if the directory of the file could not be watched.
+     */
+    public LogFileTailer(Path file, Consumer<LogRecord> consumer) throws IOException {
+        this(file, false, DEFAULT_POLL_INTERVAL, consumer);
+    }
+
+    /**
+     * Creates a tailer.
+     *
+     * @param file the log file to follow. It does not need to exist yet.
+     * @param fromStart whether the records already in the file should be delivered too.
+     * @param pollInterval the delay after which the file is checked even if no change was notified, in milliseconds.
+     * @param consumer the consumer receiving the records, called from the tailer thread.
+     * @throws IOException if the directory of the file could not be watched.
+     */
+    public LogFileTailer(Path file, boolean fromStart, long pollInterval, Consumer<LogRecord> consumer) throws IOException {
+        if (pollInterval <= 0) throw new IllegalArgumentException("pollInterval must be positive");
+
+        this.file = file.toAbsolutePath();
+        this.consumer = consumer;
+        this.pollInterval = pollInterval;
+        if (fromStart || !Files.exists(this.file)) {
+            this.position = 0;
+        } else {
+            try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+                this.position = LogRecordParser.dataEnd(channel);
+            }
+        }
+
+        this.watchService = this.file.getFileSystem().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.thread = new Thread(this::run, "Jalog Tailer (" + this.file.getFileName() + ")");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts following the file on a daemon thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops following the file. Records that were still incomplete are not delivered.
+     *
+     * @throws IOException if the watch service could not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        watchService.close();
+
+        if (thread.isAlive() && thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                WatchKey key = watchService.poll(pollInterval, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+
+                try {
+                    boolean grew = readAppended();
+                    deliver(!grew);
+                } catch (NoSuchFileException e) {
+                    // The file is being rotated; it is read again once it is created.
+                } catch (IOException e) {
+                    System.out.println("Jalog Logger Error: Could not read the followed log file '" + file + "'");
+                    System.out.println("Error info: " + ExceptionUtils.getStackTrace(e).trim());
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // The tailer was closed.
+        }
+    }
+
+    /**
+     * Reads the bytes written since the last read, {@value #READ_CHUNK_SIZE} bytes at a time, and
+     * delivers the complete records after each chunk so that only the unfinished tail stays pending.
+     * Reading stops at the first NUL byte, which is space reserved by a
+     * {@link com.github.nozyx12.jalog.appender.MappedFileAppender} but not written yet, unless
+     * it starts a gap that {@link #skipGap(long)} decides to skip.
+     * (Internal Tailer Method)
+     *
+     * @return whether any byte was read.
+     */
+    private boolean readAppended() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < position) {
+                deliver(true);
+                position = 0;
+                pendingSize = 0;
+            }
+
+            boolean grew = false;
+            while (!closed && position < size) {
+                int length = (int) Math.min(READ_CHUNK_SIZE, size - position);
+                if (pendingSize + length > pending.length) {
+                    pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingSize + length));
+                }
+
+                ByteBuffer target = ByteBuffer.wrap(pending, pendingSize, length);
+                while (target.hasRemaining()) {
+                    if (channel.read(target, position + target.position() - pendingSize) < 0) break;
+                }
+
+                int read = target.position() - pendingSize;
+                int written = 0;
+                while (written < read && pending[pendingSize + written] != 0) written++;
+                int gapEnd = written;
+                while (gapEnd < read && pending[pendingSize + gapEnd] == 0) gapEnd++;
+
+                position += written;
+                pendingSize += written;
+                grew |= written > 0;
+
+                deliver(false);
+                if (pendingSize > MAX_PENDING_SIZE) {
+                    // A single record this large cannot be told apart from the next one, so it is cut here.
+                    deliver(true);
+                    if (pendingSize > MAX_PENDING_SIZE) {
+                        pendingSize = 0;
+                        throw new IOException("Log line too large to be followed at position " + position);
+                    }
+                }
+
+                if (written < read) {
+                    // NUL bytes running to the end of the chunk may still be written, so only a gap is skipped.
+                    if (gapEnd == read || !skipGap(position)) break;
+
+                    position += gapEnd - written;
+                    continue;
+                }
+                gapPosition = -1;
+                if (read < length) break;
+            }
+            return grew;
+        }
+    }
+
+    /**
+     * Returns whether the NUL bytes starting at the given position, which are followed by data,
+     * have stayed unwritten for at least a poll interval and can be skipped.
+     * (Internal Tailer Method)
+     *
+     * @param position the position of the first NUL byte.
+     * @return whether the NUL bytes should be skipped.
+     */
+    private boolean skipGap(long position) {
+        long now = System.currentTimeMillis();
+        if (gapPosition != position) {
+            gapPosition = position;
+            gapSince = now;
+            return false;
+        }
+        if (now - gapSince < pollInterval) return false;
+
+        gapPosition = -1;
+        return true;
+    }
+
+    /**
+     * Delivers every complete record of the pending buffer and keeps the rest for the next read.
+     * (Internal Tailer Method)
+     *
+     * @param flushLast whether the last record should be delivered even though no header follows it yet.
+     */
+    private void deliver(boolean flushLast) {
+        ByteBuffer buffer = ByteBuffer.wrap(pending, 0, pendingSize);
+
+        // Only whole lines are considered; a partially written line stays pending.
+        int complete = pendingSize;
+        while (complete > 0 && pending[complete - 1] != '\n') complete--;
+
+        int position = LogRecordParser.nextHeader(buffer, 0, complete);
+        while (position < complete) {
+            int recordEnd = LogRecordParser.recordEnd(buffer, position, complete);
+            if (recordEnd == complete && !flushLast) break;
+
+            consumer.accept(LogRecordParser.parse(buffer, position, recordEnd));
+            position = recordEnd;
+        }
+
+        System.arraycopy(pending, position, pending, 0, pendingSize - position);
+        pendingSize -= position;
+    }
+}
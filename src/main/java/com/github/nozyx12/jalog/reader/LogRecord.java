@@ -0,0 +1,99 @@
+package com.github.nozyx12.jalog.reader;
+
+import com.github.nozyx12.jalog.LogLevel;
+
+import java.time.LocalDateTime;
+
+/**
+ * A log record read back from a Jalog log file.
+ * <p>
+ * A record starts with a {@code [timestamp] [name] [LEVEL]:} header line and spans every following
+ * line up to the next header, so a {@link LogLevel#STACKTRACE} record holds the whole stack trace.
+ * </p>
+ * <p>
+ * When the logger writes its caller location, the header is
+ * {@code [timestamp] [name] [LEVEL] [class.method:line]:} and the location is available through
+ * {@link #getCallerLocation()}.
+ * </p>
+ */
+public final class LogRecord {
+    private final LocalDateTime timestamp;
+    private final String loggerName;
+    private final LogLevel level;
+    private final String callerLocation;
+    private final String message;
+
+    /**
+     * Creates a log record without caller location.
+     *
+     * @param timestamp the timestamp of the record's header.
+     * @param loggerName the name of the logger that wrote the record.
+     * @param level the level of the record.
+     * @param message the message of the record, including its continuation lines.
+     */
+    public LogRecord(LocalDateTime timestamp, String loggerName, LogLevel level, String message) {
+        this(timestamp, loggerName, level, null, message);
+    }
+
+    /**
+     * Creates a log record.
+     *
+     * @param timestamp the timestamp of the record's header.
+     * @param loggerName the name of the logger that wrote the record.
+     * @param level the level of the record.
+     * @param callerLocation the caller location of the record's header. (Can be null)
+     * @param message the message of the record, including its continuation lines.
+     */
+    public LogRecord(LocalDateTime timestamp, String loggerName, LogLevel level, String callerLocation, String message) {
+        this.timestamp = timestamp;
+        this.loggerName = loggerName;
+        this.level = level;
+        this.callerLocation = callerLocation;
+        this.message = message;
+    }
+
+    /**
+     * Returns the timestamp of the record, with the precision of the log file (seconds).
+     *
+     * @return the timestamp of the record.
+     */
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the name of the logger that wrote the record.
+     *
+     * @return the logger name of the record.
+     */
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    /**
+     * Returns the level of the record.
+     *
+     * @return the level of the record.
+     */
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the caller location of the record, formatted as {@code class.method:line}.
+     *
+     * @return the caller location, or null if the logger did not write it.
+     */
+    public String getCallerLocation() {
+        return callerLocation;
+    }
+
+    /**
+     * Returns the message of the record. Continuation lines are separated by {@code \n}.
+     *
+     * @return the message of the record.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,223 @@
+package com.github.nozyx12.jalog.reader;
+
+import com.github.nozyx12.jalog.LogLevel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Splits and parses Jalog log records directly from their encoded bytes, without regular
+ * expressions or intermediate line strings.
+ * <p>
+ * A record header looks like {@code [yyyy-MM-dd HH:mm:ss] [name] [LEVEL]: message}, or
+ * {@code [yyyy-MM-dd HH:mm:ss] [name] [LEVEL] [class.method:line]: message} when the logger writes
+ * its caller location. Any line that is not a valid header continues the record above it.
+ * </p>
+ */
+final class LogRecordParser {
+    private static final int TIMESTAMP_LENGTH = 19;
+    private static final int SCAN_BLOCK_SIZE = 8192;
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final byte[][] LEVEL_NAMES = new byte[LEVELS.length][];
+
+    static {
+        for (int i = 0; i < LEVELS.length; i++) LEVEL_NAMES[i] = LEVELS[i].name().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private LogRecordParser() {}
+
+    /**
+     * Returns the end of the data of the file, skipping back over the NUL bytes a
+     * {@link com.github.nozyx12.jalog.appender.MappedFileAppender} reserves at the end of the file
+     * while it is open, or leaves there if it was not closed.
+     */
+    static long dataEnd(FileChannel channel) throws IOException {
+        long end = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(SCAN_BLOCK_SIZE);
+
+        while (end > 0) {
+            long start = Math.max(0, end - SCAN_BLOCK_SIZE);
+            block.clear().limit((int) (end - start));
+            while (block.hasRemaining()) {
+                if (channel.read(block, start + block.position()) < 0) break;
+            }
+
+            for (int i = block.position() - 1; i >= 0; i--) {
+                if (block.get(i) != 0) return start + i + 1;
+            }
+            end = start;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the index following the next line feed at or after {@code position}, or {@code limit}
+     * if there is none.
+     */
+    static int nextLine(ByteBuffer buffer, int position, int limit) {
+        for (int i = position; i < limit; i++) {
+            if (buffer.get(i) == '\n') return i + 1;
+        }
+        return limit;
+    }
+
+    /**
+     * Returns the index of the first header line starting at or after {@code position}, which
+     * must be the start of a line, or {@code limit} if there is none.
+     */
+    static int nextHeader(ByteBuffer buffer, int position, int limit) {
+        while (position < limit && messageStart(buffer, position, limit) < 0) {
+            position = nextLine(buffer, position, limit);
+        }
+        return position;
+    }
+
+    /**
+     * Returns the end of the record whose header starts at {@code start}: the start of the next
+     * header line, or {@code limit} if the record runs to the end of the data.
+     */
+    static int recordEnd(ByteBuffer buffer, int start, int limit) {
+        return nextHeader(buffer, nextLine(buffer, start, limit), limit);
+    }
+
+    /**
+     * Parses the record occupying {@code [start, end)}, which must begin with a valid header.
+     */
+    static LogRecord parse(ByteBuffer buffer, int start, int end) {
+        int messageStart = messageStart(buffer, start, end);
+        int nameStart = start + TIMESTAMP_LENGTH + 4;
+        int nameEnd = indexOfSeparator(buffer, nameStart, end);
+        int levelEnd = indexOf(buffer, ']', nameEnd + 3, messageStart);
+        int headerEnd = messageStart - (buffer.get(messageStart - 1) == ' ' ? 2 : 1);
+
+        LocalDateTime timestamp = LocalDateTime.of(
+                digits(buffer, start + 1, 4), digits(buffer, start + 6, 2), digits(buffer, start + 9, 2),
+                digits(buffer, start + 12, 2), digits(buffer, start + 15, 2), digits(buffer, start + 18, 2));
+
+        String loggerName = decode(buffer, nameStart, nameEnd);
+        LogLevel level = level(buffer, nameEnd + 3, levelEnd);
+        String callerLocation = headerEnd > levelEnd + 1 ? decode(buffer, levelEnd + 3, headerEnd - 1) : null;
+
+        int messageEnd = end;
+        while (messageEnd > messageStart && (buffer.get(messageEnd - 1) == '\n' || buffer.get(messageEnd - 1) == '\r')) messageEnd--;
+
+        // Stack trace records start their content on the line after the header.
+        int contentStart = messageStart;
+        if (contentStart < messageEnd && (buffer.get(contentStart) == '\r' || buffer.get(contentStart) == '\n')) {
+            contentStart = Math.min(nextLine(buffer, contentStart, end), messageEnd);
+        }
+
+        String message = decode(buffer, contentStart, messageEnd);
+        if (message.indexOf('\r') >= 0) message = message.replace("\r\n", "\n");
+
+        return new LogRecord(timestamp, loggerName, level, callerLocation, message);
+    }
+
+    /**
+     * Validates the header starting at {@code start} and returns the index its message starts at,
+     * or -1 if the line is not a valid header.
+     */
+    private static int messageStart(ByteBuffer buffer, int start, int limit) {
+        int nameStart = start + TIMESTAMP_LENGTH + 4;
+        if (nameStart > limit || buffer.get(start) != '[' || !isTimestamp(buffer, start + 1)) return -1;
+        if (buffer.get(start + 20) != ']' || buffer.get(start + 21) != ' ' || buffer.get(start + 22) != '[') return -1;
+
+        int lineEnd = nextLine(buffer, nameStart, limit);
+        int nameEnd = indexOfSeparator(buffer, nameStart, lineEnd);
+        if (nameEnd < 0) return -1;
+
+        int levelStart = nameEnd + 3;
+        int levelEnd = indexOf(buffer, ']', levelStart, lineEnd);
+        if (levelEnd < 0 || levelEnd + 1 >= lineEnd || level(buffer, levelStart, levelEnd) == null) return -1;
+
+        // The header ends right after the level, or after the caller location following it.
+        int headerEnd = levelEnd + 1;
+        if (buffer.get(headerEnd) != ':') {
+            if (headerEnd + 1 >= lineEnd || buffer.get(headerEnd) != ' ' || buffer.get(headerEnd + 1) != '[') return -1;
+
+            int locationEnd = indexOf(buffer, ']', headerEnd + 2, lineEnd);
+            if (locationEnd < 0 || locationEnd + 1 >= lineEnd || buffer.get(locationEnd + 1) != ':') return -1;
+            headerEnd = locationEnd + 1;
+        }
+
+        int messageStart = headerEnd + 1;
+        if (messageStart < lineEnd && buffer.get(messageStart) == ' ') messageStart++;
+        return messageStart;
+    }
+
+    private static boolean isTimestamp(ByteBuffer buffer, int start) {
+        for (int i = 0; i < TIMESTAMP_LENGTH; i++) {
+            byte b = buffer.get(start + i);
+            switch (i) {
+                case 4:
+                case 7:
+                    if (b != '-') return false;
+                    break;
+                case 10:
+                    if (b != ' ') return false;
+                    break;
+                case 13:
+                case 16:
+                    if (b != ':') return false;
+                    break;
+                default:
+                    if (b < '0' || b > '9') return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the index of the first {@code value} byte in {@code [from, limit)}, or -1.
+     */
+    private static int indexOf(ByteBuffer buffer, char value, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the next {@code "] ["} separator in {@code [from, limit)}, or -1.
+     */
+    private static int indexOfSeparator(ByteBuffer buffer, int from, int limit) {
+        for (int i = from; i + 2 < limit; i++) {
+            if (buffer.get(i) == ']' && buffer.get(i + 1) == ' ' && buffer.get(i + 2) == '[') return i;
+        }
+        return -1;
+    }
+
+    private static LogLevel level(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        for (int i = 0; i < LEVELS.length; i++) {
+            byte[] name = LEVEL_NAMES[i];
+            if (name.length != length) continue;
+
+            int j = 0;
+            while (j < length && buffer.get(start + j) == name[j]) j++;
+            if (j == length) return LEVELS[i];
+        }
+        return null;
+    }
+
+    private static int digits(ByteBuffer buffer, int start, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) value = value * 10 + (buffer.get(start + i) - '0');
+        return value;
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes = new byte[end - start];
+        ByteBuffer source = buffer.duplicate();
+        source.position(start);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
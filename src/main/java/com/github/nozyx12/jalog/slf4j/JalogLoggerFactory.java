@@ -1,5 +1,6 @@
 package com.github.nozyx12.jalog.slf4j;
 
+import com.github.nozyx12.jalog.LoggerConfig;
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Logger;
 
@@ -13,11 +14,25 @@ import java.util.concurrent.ConcurrentMap;
  * which adapt SLF4J logging calls to the Jalog backend.
  * </p>
  * <p>
- * It ensures that each logger name maps to a single {@link Logger} instance.
+ * It ensures that each logger name maps to a single {@link Logger} instance, which is a view over a
+ * single Jalog {@link LoggerConfig} for that name. Every config created by the factory has the
+ * {@linkplain #getRootConfig() root config} as its parent, so setting an appender on the root config
+ * sends the output of every SLF4J logger to it, while {@link #getConfig(String)} gives access to the
+ * settings of a single name.
+ * </p>
+ * <p>
+ * Lookups of existing names go through a lock-free read of the cache and only fall back to
+ * {@link ConcurrentMap#computeIfAbsent} the first time a name is requested.
  * </p>
  */
 public class JalogLoggerFactory implements ILoggerFactory {
-    private final ConcurrentMap<String, Logger> loggerMap = new ConcurrentHashMap<>();
+    /**
+     * The name of the root config.
+     */
+    public static final String ROOT_CONFIG_NAME = "ROOT";
+
+    private final LoggerConfig rootConfig = new LoggerConfig(ROOT_CONFIG_NAME);
+    private final ConcurrentMap<String, JalogSLF4JLogger> loggerMap = new ConcurrentHashMap<>();
 
     /**
      * Returns a logger instance by name. If a logger with the given name does not yet exist,
@@ -28,6 +43,29 @@ public class JalogLoggerFactory implements ILoggerFactory {
      */
     @Override
     public Logger getLogger(String name) {
-        return loggerMap.computeIfAbsent(name, JalogSLF4JLogger::new);
+        JalogSLF4JLogger logger = loggerMap.get(name);
+        if (logger != null) return logger;
+
+        return loggerMap.computeIfAbsent(name, key -> new JalogSLF4JLogger(new LoggerConfig(key, rootConfig)));
+    }
+
+    /**
+     * Returns the config shared by every logger of the given name, creating the logger if needed.
+     *
+     * @param name the name of the logger
+     * @return the config of the logger
+     */
+    public LoggerConfig getConfig(String name) {
+        return ((JalogSLF4JLogger) getLogger(name)).getConfig();
+    }
+
+    /**
+     * Returns the root config, whose output and caller location settings are used by every logger
+     * of this factory that does not define its own.
+     *
+     * @return the root config
+     */
+    public LoggerConfig getRootConfig() {
+        return this.rootConfig;
     }
 }
@@ -0,0 +1,147 @@
+package com.github.nozyx12.jalog.slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The Jalog implementation of the {@link org.slf4j.spi.MDCAdapter} interface.
+ * <p>
+ * The Mapped Diagnostic Context (MDC) of each thread is kept in a plain {@link ThreadLocal}, so it is
+ * not inherited by child threads and values put by a task do not leak into the threads it starts.
+ * As with any MDC, code running on pooled threads should clear the values it puts once done.
+ * </p>
+ * <p>
+ * The MDC is read by appenders such as {@link com.github.nozyx12.jalog.appender.RecentEventsAppender}
+ * to index the log events by MDC key.
+ * </p>
+ */
+public class JalogMDCAdapter implements org.slf4j.spi.MDCAdapter {
+    private final ThreadLocal<Map<String, String>> contextMap = new ThreadLocal<>();
+    private final ThreadLocal<Map<String, Deque<String>>> dequeMap = new ThreadLocal<>();
+
+    /**
+     * Puts a key-value pair into the MDC context of the current thread.
+     *
+     * @param s   the key
+     * @param s1  the value
+     */
+    @Override
+    public void put(String s, String s1) {
+        if (s == null) throw new IllegalArgumentException("key cannot be null");
+
+        Map<String, String> map = contextMap.get();
+        if (map == null) {
+            map = new HashMap<>();
+            contextMap.set(map);
+        }
+        map.put(s, s1);
+    }
+
+    /**
+     * Gets the value for the given key from the MDC context of the current thread.
+     *
+     * @param s  the key
+     * @return the value, or null if the key is not set
+     */
+    @Override
+    public String get(String s) {
+        Map<String, String> map = contextMap.get();
+        return map == null ? null : map.get(s);
+    }
+
+    /**
+     * Removes the value for the given key from the MDC context of the current thread.
+     *
+     * @param s  the key
+     */
+    @Override
+    public void remove(String s) {
+        Map<String, String> map = contextMap.get();
+        if (map != null) map.remove(s);
+    }
+
+    /**
+     * Clears all values in the MDC context of the current thread.
+     */
+    @Override
+    public void clear() {
+        contextMap.remove();
+    }
+
+    /**
+     * Returns a copy of the MDC context map of the current thread.
+     *
+     * @return a copy of the context map, or null if the context is empty
+     */
+    @Override
+    public Map<String, String> getCopyOfContextMap() {
+        Map<String, String> map = contextMap.get();
+        return map == null || map.isEmpty() ? null : new HashMap<>(map);
+    }
+
+    /**
+     * Replaces the MDC context map of the current thread with a copy of the given map.
+     *
+     * @param map  the map to set
+     */
+    @Override
+    public void setContextMap(Map<String, String> map) {
+        if (map == null || map.isEmpty()) contextMap.remove();
+        else contextMap.set(new HashMap<>(map));
+    }
+
+    /**
+     * Pushes a value onto the MDC context stack of the given key for the current thread.
+     *
+     * @param s   the key
+     * @param s1  the value
+     */
+    @Override
+    public void pushByKey(String s, String s1) {
+        Map<String, Deque<String>> map = dequeMap.get();
+        if (map == null) {
+            map = new HashMap<>();
+            dequeMap.set(map);
+        }
+        map.computeIfAbsent(s, key -> new ArrayDeque<>()).push(s1);
+    }
+
+    /**
+     * Pops the value on top of the MDC context stack of the given key for the current thread.
+     *
+     * @param s  the key
+     * @return the popped value, or null if the stack is empty
+     */
+    @Override
+    public String popByKey(String s) {
+        Map<String, Deque<String>> map = dequeMap.get();
+        Deque<String> deque = map == null ? null : map.get(s);
+        return deque == null ? null : deque.pollFirst();
+    }
+
+    /**
+     * Returns a copy of the MDC context stack of the given key for the current thread.
+     *
+     * @param s  the key
+     * @return a copy of the stack, or null if there is none
+     */
+    @Override
+    public Deque<String> getCopyOfDequeByKey(String s) {
+        Map<String, Deque<String>> map = dequeMap.get();
+        Deque<String> deque = map == null ? null : map.get(s);
+        return deque == null ? null : new ArrayDeque<>(deque);
+    }
+
+    /**
+     * Clears the MDC context stack of the given key for the current thread.
+     *
+     * @param s  the key
+     */
+    @Override
+    public void clearDequeByKey(String s) {
+        Map<String, Deque<String>> map = dequeMap.get();
+        if (map != null) map.remove(s);
+    }
+}
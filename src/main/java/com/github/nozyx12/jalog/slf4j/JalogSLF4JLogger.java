@@ -1,7 +1,12 @@
 package com.github.nozyx12.jalog.slf4j;
 
+import com.github.nozyx12.jalog.LogLevel;
+import com.github.nozyx12.jalog.LoggerConfig;
 import org.slf4j.Logger;
 import org.slf4j.Marker;
+import org.slf4j.event.KeyValuePair;
+import org.slf4j.event.LoggingEvent;
+import org.slf4j.spi.LoggingEventAware;
 
 /**
  * An implementation of {@link Logger} for SLF4J that routes logging calls to the Jalog logging system.
@@ -9,8 +14,19 @@ import org.slf4j.Marker;
  * This class provides the core logging methods that SLF4J users will invoke. It adapts SLF4J calls to the Jalog
  * backend, ensuring proper log levels and formatting.
  * </p>
+ * <p>
+ * Each instance is a lightweight view over a Jalog {@link LoggerConfig}, which holds the output,
+ * listeners and caller location settings shared with every other logger of the same config.
+ * </p>
+ * <p>
+ * Events built with the SLF4J fluent API are received through {@link LoggingEventAware}, so the
+ * caller boundary of an event, such as the one set by a logging facade through
+ * {@link org.slf4j.spi.CallerBoundaryAware}, decides which frame is logged as the caller location.
+ * </p>
  */
-public class JalogSLF4JLogger implements Logger {
+public class JalogSLF4JLogger implements Logger, LoggingEventAware {
+    private static final String FQCN = JalogSLF4JLogger.class.getName();
+
     private final com.github.nozyx12.jalog.Logger logger;
 
     /**
@@ -19,7 +35,20 @@ public class JalogSLF4JLogger implements Logger {
      * @param loggerName the name of the logger
      */
     public JalogSLF4JLogger(String loggerName) {
-        this.logger = new com.github.nozyx12.jalog.Logger(loggerName);
+        this(new LoggerConfig(loggerName));
+    }
+
+    /**
+     * Constructs a new {@link JalogSLF4JLogger} over an existing Jalog config.
+     * <p>
+     * The config keeps its name, output, listeners and settings, so it can be shared with other
+     * SLF4J and Jalog loggers.
+     * </p>
+     *
+     * @param config the config of the logger
+     */
+    public JalogSLF4JLogger(LoggerConfig config) {
+        this.logger = new com.github.nozyx12.jalog.Logger(config);
     }
 
     /**
@@ -32,6 +61,36 @@ public class JalogSLF4JLogger implements Logger {
         return this.logger.getName();
     }
 
+    /**
+     * Returns the Jalog config this logger is a view of.
+     *
+     * @return the config of the logger
+     */
+    public LoggerConfig getConfig() {
+        return this.logger.getConfig();
+    }
+
+    /**
+     * Enables or disables the caller location in the log lines of this logger.
+     * The location is the one of the code calling this logger, or calling the caller boundary of a
+     * fluent API event.
+     *
+     * @param callerLocation whether the caller location should be logged
+     * @see com.github.nozyx12.jalog.Logger#setCallerLocation(boolean)
+     */
+    public void setCallerLocation(boolean callerLocation) {
+        this.logger.setCallerLocation(callerLocation);
+    }
+
+    /**
+     * Returns whether the caller location is included in the log lines of this logger.
+     *
+     * @return true if the caller location is logged
+     */
+    public boolean isCallerLocation() {
+        return this.logger.isCallerLocation();
+    }
+
 
     @Override
     public boolean isTraceEnabled() {
@@ -100,28 +159,27 @@ public class JalogSLF4JLogger implements Logger {
 
     @Override
     public void debug(String s) {
-        logger.debug(s);
+        log(LogLevel.DEBUG, s, null);
     }
 
     @Override
     public void debug(String s, Object o) {
-        logger.debug(slf4jFormat(s, o));
+        log(LogLevel.DEBUG, slf4jFormat(s, o), null);
     }
 
     @Override
     public void debug(String s, Object o, Object o1) {
-        logger.debug(slf4jFormat(s, o, o1));
+        log(LogLevel.DEBUG, slf4jFormat(s, o, o1), null);
     }
 
     @Override
     public void debug(String s, Object... objects) {
-        logger.debug(slf4jFormat(s, objects));
+        log(LogLevel.DEBUG, slf4jFormat(s, objects), null);
     }
 
     @Override
     public void debug(String s, Throwable throwable) {
-        logger.debug(s);
-        logger.stacktrace(throwable);
+        log(LogLevel.DEBUG, s, throwable);
     }
 
     @Override
@@ -161,28 +219,27 @@ public class JalogSLF4JLogger implements Logger {
 
     @Override
     public void info(String s) {
-        logger.info(s);
+        log(LogLevel.INFO, s, null);
     }
 
     @Override
     public void info(String s, Object o) {
-        logger.info(slf4jFormat(s, o));
+        log(LogLevel.INFO, slf4jFormat(s, o), null);
     }
 
     @Override
     public void info(String s, Object o, Object o1) {
-        logger.info(slf4jFormat(s, o, o1));
+        log(LogLevel.INFO, slf4jFormat(s, o, o1), null);
     }
 
     @Override
     public void info(String s, Object... objects) {
-        logger.info(slf4jFormat(s, objects));
+        log(LogLevel.INFO, slf4jFormat(s, objects), null);
     }
 
     @Override
     public void info(String s, Throwable throwable) {
-        logger.info(s);
-        logger.stacktrace(throwable);
+        log(LogLevel.INFO, s, throwable);
     }
 
     @Override
@@ -222,28 +279,27 @@ public class JalogSLF4JLogger implements Logger {
 
     @Override
     public void warn(String s) {
-        logger.warning(s);
+        log(LogLevel.WARNING, s, null);
     }
 
     @Override
     public void warn(String s, Object o) {
-        logger.warning(slf4jFormat(s, o));
+        log(LogLevel.WARNING, slf4jFormat(s, o), null);
     }
 
     @Override
     public void warn(String s, Object o, Object o1) {
-        logger.warning(slf4jFormat(s, o, o1));
+        log(LogLevel.WARNING, slf4jFormat(s, o, o1), null);
     }
 
     @Override
     public void warn(String s, Object... objects) {
-        logger.warning(slf4jFormat(s, objects));
+        log(LogLevel.WARNING, slf4jFormat(s, objects), null);
     }
 
     @Override
     public void warn(String s, Throwable throwable) {
-        logger.warning(s);
-        logger.stacktrace(throwable);
+        log(LogLevel.WARNING, s, throwable);
     }
 
     @Override
@@ -283,27 +339,27 @@ public class JalogSLF4JLogger implements Logger {
 
     @Override
     public void error(String s) {
-        logger.error(s);
+        log(LogLevel.ERROR, s, null);
     }
 
     @Override
     public void error(String s, Object o) {
-        logger.error(slf4jFormat(s, o));
+        log(LogLevel.ERROR, slf4jFormat(s, o), null);
     }
 
     @Override
     public void error(String s, Object o, Object o1) {
-        logger.error(slf4jFormat(s, o, o1));
+        log(LogLevel.ERROR, slf4jFormat(s, o, o1), null);
     }
 
     @Override
     public void error(String s, Object... objects) {
-        logger.error(slf4jFormat(s, objects));
+        log(LogLevel.ERROR, slf4jFormat(s, objects), null);
     }
 
     @Override
     public void error(String s, Throwable throwable) {
-        logger.error(s, throwable);
+        log(LogLevel.ERROR, s, throwable);
     }
 
     @Override
@@ -336,6 +392,60 @@ public class JalogSLF4JLogger implements Logger {
         error("[" + marker.getName() + "] " + s, throwable);
     }
 
+    /**
+     * Logs an event built with the SLF4J fluent API. Its markers and key-value pairs are written
+     * before the message, and its caller boundary is used to find the caller location.
+     *
+     * @param event the event to log
+     */
+    @Override
+    public void log(LoggingEvent event) {
+        StringBuilder message = new StringBuilder();
+        if (event.getMarkers() != null) {
+            for (Marker marker : event.getMarkers()) message.append('[').append(marker.getName()).append("] ");
+        }
+        if (event.getKeyValuePairs() != null) {
+            for (KeyValuePair pair : event.getKeyValuePairs()) message.append(pair.key).append('=').append(pair.value).append(' ');
+        }
+
+        String content = String.valueOf(event.getMessage());
+        Object[] arguments = event.getArgumentArray();
+        message.append(arguments == null ? content : slf4jFormat(content, arguments));
+
+        String callerBoundary = event.getCallerBoundary() != null ? event.getCallerBoundary() : FQCN;
+        logger.log(toJalogLevel(event.getLevel()), message.toString(), event.getThrowable(), callerBoundary);
+    }
+
+    /**
+     * Logs a message through the Jalog logger, with this class as the caller boundary.
+     *
+     * @param level the level of the message
+     * @param message the message to log
+     * @param throwable the exception whose stack trace is logged after the message (can be null)
+     */
+    private void log(LogLevel level, String message, Throwable throwable) {
+        logger.log(level, message, throwable, FQCN);
+    }
+
+    /**
+     * Maps an SLF4J level to the Jalog level it is logged with. Trace messages are logged as debug messages.
+     *
+     * @param level the SLF4J level
+     * @return the Jalog level
+     */
+    private static LogLevel toJalogLevel(org.slf4j.event.Level level) {
+        switch (level) {
+            case ERROR:
+                return LogLevel.ERROR;
+            case WARN:
+                return LogLevel.WARNING;
+            case INFO:
+                return LogLevel.INFO;
+            default:
+                return LogLevel.DEBUG;
+        }
+    }
+
     /**
      * Formats the log message to handle SLF4J placeholders ("{}").
      *
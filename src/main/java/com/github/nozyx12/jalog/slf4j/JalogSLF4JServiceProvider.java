@@ -10,11 +10,12 @@ import org.slf4j.spi.SLF4JServiceProvider;
  * and the Jalog logging system.
  * <p>
  * It provides the necessary components to make Jalog compatible with SLF4J, including a custom {@link ILoggerFactory},
- * a default no-operation MDC adapter, and the API version requested.
+ * a thread-local MDC adapter, and the API version requested.
  * </p>
  */
 public class JalogSLF4JServiceProvider implements SLF4JServiceProvider {
     private final JalogLoggerFactory loggerFactory = new JalogLoggerFactory();
+    private final MDCAdapter mdcAdapter = new JalogMDCAdapter();
 
     /**
      * Returns the {@link ILoggerFactory} implementation for this provider.
@@ -40,14 +41,15 @@ public class JalogSLF4JServiceProvider implements SLF4JServiceProvider {
 
     /**
      * Returns the {@link MDCAdapter} implementation for this provider.
-     * This method returns a {@link NopMDCAdapter}, a no-operation implementation,
-     * as Jalog does not currently support MDC (Mapped Diagnostic Context).
+     * This method returns a {@link JalogMDCAdapter}, which keeps the MDC (Mapped Diagnostic Context)
+     * of each thread without passing it on to child threads, so that appenders such as
+     * {@link com.github.nozyx12.jalog.appender.RecentEventsAppender} can index log events by MDC key.
      *
-     * @return a no-operation MDC adapter
+     * @return a thread-local MDC adapter
      */
     @Override
     public MDCAdapter getMDCAdapter() {
-        return new NopMDCAdapter();
+        return mdcAdapter;
     }
 
     /**
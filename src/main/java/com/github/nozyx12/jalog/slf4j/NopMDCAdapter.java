@@ -10,7 +10,11 @@ import java.util.Map;
  * This adapter is used when integrating Jalog with SLF4J but where the Mapped Diagnostic Context (MDC)
  * is not supported. All methods in this class are implemented as no-operations or return default values.
  * </p>
+ *
+ * @deprecated Jalog now supports the MDC, and {@link JalogSLF4JServiceProvider} returns a
+ * {@link JalogMDCAdapter}. This class is kept for compatibility and will be removed in a future version.
  */
+@Deprecated
 public class NopMDCAdapter implements org.slf4j.spi.MDCAdapter {
     /**
      * Puts a key-value pair into the MDC context. This is a no-op implementation.